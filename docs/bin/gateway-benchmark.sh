@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# 网关压测对比: zuul网关(opencloud-gateway-provider)与响应式网关(opencloud-gateway-reactive)
+# 两个网关使用相同的服务名,分别部署在不同端口或机器上,使用相同的接口和令牌压测
+# 依赖 wrk (https://github.com/wg/wrk)
+#
+# 示例:
+# ZUUL_ADDR=http://127.0.0.1:8888 REACTIVE_ADDR=http://127.0.0.1:8889 \
+# API_PATH=/base/app/1 ACCESS_TOKEN=xxx ./gateway-benchmark.sh
+
+ZUUL_ADDR=${ZUUL_ADDR:-http://127.0.0.1:8888}
+REACTIVE_ADDR=${REACTIVE_ADDR:-http://127.0.0.1:8889}
+API_PATH=${API_PATH:-/base/app/1}
+ACCESS_TOKEN=${ACCESS_TOKEN:-}
+THREADS=${THREADS:-4}
+# 并发连接数,多个用空格分隔,逐个压测
+CONNECTIONS=${CONNECTIONS:-"50 200 1000"}
+DURATION=${DURATION:-60s}
+WARMUP=${WARMUP:-15s}
+RESULT_DIR=${RESULT_DIR:-./benchmark-`date +%Y%m%d%H%M%S`}
+
+if ! command -v wrk >/dev/null 2>&1; then
+    echo -e "\033[0;31m 未安装wrk \033[0m"
+    exit 1
+fi
+
+mkdir -p ${RESULT_DIR}
+
+HEADER=""
+if [[ "$ACCESS_TOKEN" != "" ]]; then
+    HEADER="Authorization: Bearer ${ACCESS_TOKEN}"
+fi
+
+run()
+{
+    NAME=$1
+    URL=$2${API_PATH}
+    echo "预热 $NAME $URL"
+    wrk -t${THREADS} -c50 -d${WARMUP} -H "${HEADER}" ${URL} > /dev/null
+    for C in ${CONNECTIONS}; do
+        OUT="${RESULT_DIR}/${NAME}-c${C}.txt"
+        echo "压测 $NAME 并发:$C 时长:$DURATION"
+        wrk -t${THREADS} -c${C} -d${DURATION} --latency -H "${HEADER}" ${URL} > ${OUT}
+        grep -E "Requests/sec|Latency|99%|Non-2xx|Socket errors" ${OUT}
+    done
+}
+
+run zuul ${ZUUL_ADDR}
+run reactive ${REACTIVE_ADDR}
+
+echo "压测结果:${RESULT_DIR}"
@@ -215,6 +215,7 @@ CREATE TABLE `system_gateway_rate_limit` (
 -- ----------------------------
 -- Table structure for system_gateway_route
 -- ----------------------------
+-- 已有旧表参考 upgrade_gateway_route_options.sql 增加路由选项字段
 DROP TABLE IF EXISTS `system_gateway_route`;
 CREATE TABLE `system_gateway_route` (
                                       `id` bigint(20) NOT NULL,
@@ -226,6 +227,12 @@ CREATE TABLE `system_gateway_route` (
                                       `retryable` tinyint(1) DEFAULT '0' COMMENT '0-不重试 1-重试',
                                       `status` tinyint(3) NOT NULL DEFAULT '1' COMMENT '状态:0-无效 1-有效',
                                       `route_desc` varchar(255) DEFAULT NULL,
+                                      `cache_ttl` int(11) NOT NULL DEFAULT '0' COMMENT '响应缓存时间(秒),0-不缓存,仅对GET请求生效',
+                                      `cache_vary_headers` varchar(255) DEFAULT NULL COMMENT '缓存区分的请求头,多个用逗号隔开',
+                                      `cache_vary_principal` tinyint(1) NOT NULL DEFAULT '0' COMMENT '缓存是否区分登录用户:0-否 1-是',
+                                      `single_flight` tinyint(1) NOT NULL DEFAULT '0' COMMENT '合并相同的并发GET请求:0-否 1-是',
+                                      `streaming` tinyint(1) NOT NULL DEFAULT '0' COMMENT '流式转发请求和响应内容,不在内存中缓冲:0-否 1-是',
+                                      `compression` tinyint(1) NOT NULL DEFAULT '0' COMMENT '压缩响应内容(gzip):0-否 1-是',
                                       PRIMARY KEY (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='网关动态路由';
 
@@ -373,7 +380,6 @@ CREATE TABLE `system_user_role` (
 -- Records of system_user_role
 -- ----------------------------
 INSERT INTO `system_user_role` VALUES ('521677655146233856', '1');
-SET FOREIGN_KEY_CHECKS=1;
 
 -- ----------------------------
 -- Table structure for system_access_logs
@@ -388,7 +394,38 @@ CREATE TABLE `system_access_logs` (
                                     `ip` varchar(500) DEFAULT NULL COMMENT '请求IP',
                                     `http_status` varchar(100) DEFAULT NULL COMMENT '响应状态',
                                     `exception` text COMMENT '异常',
-                                    `access_time` datetime DEFAULT NULL COMMENT '访问时间',
-                                    PRIMARY KEY (`access_id`)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='接口访问日志';
+                                    `access_time` datetime NOT NULL COMMENT '访问时间',
+                                    PRIMARY KEY (`access_id`,`access_time`),
+                                    KEY `idx_access_time` (`access_time`,`access_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='接口访问日志'
+-- 按访问时间分区,基础服务定时从pmax拆分预建分区并删除过期分区(opencloud.access-logs.partition)
+-- 已有未分区的旧表参考 upgrade_access_logs_partition.sql 在线迁移
+PARTITION BY RANGE (TO_DAYS(`access_time`)) (
+    PARTITION p_history VALUES LESS THAN (TO_DAYS('2019-01-01')),
+    PARTITION pmax VALUES LESS THAN MAXVALUE
+);
+
+-- ----------------------------
+-- Table structure for system_access_rollup
+-- ----------------------------
+DROP TABLE IF EXISTS `system_access_rollup`;
+CREATE TABLE `system_access_rollup` (
+                                    `rollup_time` datetime NOT NULL COMMENT '统计时间(分钟)',
+                                    `service_id` varchar(100) NOT NULL DEFAULT '' COMMENT '服务ID',
+                                    `path` varchar(255) NOT NULL COMMENT '接口规则',
+                                    `http_status` varchar(100) NOT NULL COMMENT '响应状态',
+                                    `request_count` bigint(20) NOT NULL DEFAULT '0' COMMENT '请求次数',
+                                    `error_count` bigint(20) NOT NULL DEFAULT '0' COMMENT '异常次数',
+                                    `latency_sum` bigint(20) NOT NULL DEFAULT '0' COMMENT '耗时合计(毫秒)',
+                                    `latency_max` bigint(20) NOT NULL DEFAULT '0' COMMENT '最大耗时(毫秒)',
+                                    `latency_le_10` bigint(20) NOT NULL DEFAULT '0' COMMENT '耗时<=10毫秒次数',
+                                    `latency_le_50` bigint(20) NOT NULL DEFAULT '0' COMMENT '耗时<=50毫秒次数',
+                                    `latency_le_100` bigint(20) NOT NULL DEFAULT '0' COMMENT '耗时<=100毫秒次数',
+                                    `latency_le_250` bigint(20) NOT NULL DEFAULT '0' COMMENT '耗时<=250毫秒次数',
+                                    `latency_le_500` bigint(20) NOT NULL DEFAULT '0' COMMENT '耗时<=500毫秒次数',
+                                    `latency_le_1000` bigint(20) NOT NULL DEFAULT '0' COMMENT '耗时<=1000毫秒次数',
+                                    `latency_le_5000` bigint(20) NOT NULL DEFAULT '0' COMMENT '耗时<=5000毫秒次数',
+                                    `latency_le_inf` bigint(20) NOT NULL DEFAULT '0' COMMENT '耗时>5000毫秒次数',
+                                    PRIMARY KEY (`rollup_time`,`service_id`,`path`,`http_status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='接口访问分钟统计';
 SET FOREIGN_KEY_CHECKS=1;
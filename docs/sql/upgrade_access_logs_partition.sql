@@ -0,0 +1,50 @@
+-- ----------------------------
+-- system_access_logs 分区升级
+-- 旧版本为普通表,主键(access_id),access_time可为空.
+-- 直接 ALTER TABLE ... PARTITION BY 会复制全表并阻塞写入,日志量大时不可接受.
+-- 以下采用新表切换的方式在线迁移:
+--   1.创建分区新表,历史数据全部落在p_history,当天及之后的分区预先建好,pmax保持为空.
+--     基础服务的分区维护任务只从空的pmax拆分新分区,不会触发大表复制.
+--   2.RENAME TABLE原子切换,新日志直接写入新表,切换期间写入不阻塞.
+--   3.按主键分批把旧数据复制到新表,每批一个短事务,可随时中断重跑.
+--   4.确认数据后删除旧表.
+-- 执行前将下面的 2019-01-01 替换为执行当天日期,并按需补充未来几天的分区.
+-- ----------------------------
+
+-- 1.创建分区新表
+DROP TABLE IF EXISTS `system_access_logs_new`;
+CREATE TABLE `system_access_logs_new` (
+                                    `access_id` bigint(20) NOT NULL COMMENT '访问ID',
+                                    `path` varchar(255) DEFAULT NULL COMMENT '访问路径',
+                                    `method` varchar(50) DEFAULT NULL,
+                                    `data` text COMMENT '请求数据',
+                                    `headers` text COMMENT '请求头',
+                                    `ip` varchar(500) DEFAULT NULL COMMENT '请求IP',
+                                    `http_status` varchar(100) DEFAULT NULL COMMENT '响应状态',
+                                    `exception` text COMMENT '异常',
+                                    `access_time` datetime NOT NULL COMMENT '访问时间',
+                                    PRIMARY KEY (`access_id`,`access_time`),
+                                    KEY `idx_access_time` (`access_time`,`access_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COMMENT='接口访问日志'
+PARTITION BY RANGE (TO_DAYS(`access_time`)) (
+    PARTITION p_history VALUES LESS THAN (TO_DAYS('2019-01-01')),
+    PARTITION p20190101 VALUES LESS THAN (TO_DAYS('2019-01-02')),
+    PARTITION p20190102 VALUES LESS THAN (TO_DAYS('2019-01-03')),
+    PARTITION pmax VALUES LESS THAN MAXVALUE
+);
+
+-- 2.原子切换
+RENAME TABLE `system_access_logs` TO `system_access_logs_old`, `system_access_logs_new` TO `system_access_logs`;
+
+-- 3.分批复制旧数据,在同一个会话中重复执行后三条语句,直到@next_id为NULL
+-- 访问时间为空的旧数据归入p_history
+SET @last_id = 0;
+SELECT MAX(t.`access_id`) INTO @next_id FROM (SELECT `access_id` FROM `system_access_logs_old` WHERE `access_id` > @last_id ORDER BY `access_id` LIMIT 10000) t;
+INSERT IGNORE INTO `system_access_logs` (`access_id`, `path`, `method`, `data`, `headers`, `ip`, `http_status`, `exception`, `access_time`)
+SELECT o.`access_id`, o.`path`, o.`method`, o.`data`, o.`headers`, o.`ip`, o.`http_status`, o.`exception`, IFNULL(o.`access_time`, '1970-01-01 00:00:00')
+FROM `system_access_logs_old` o
+WHERE o.`access_id` > @last_id AND o.`access_id` <= @next_id;
+SET @last_id = @next_id;
+
+-- 4.确认数据后删除旧表
+-- DROP TABLE `system_access_logs_old`;
@@ -0,0 +1,13 @@
+-- ----------------------------
+-- system_gateway_route 路由选项升级
+-- 旧版本没有响应缓存、请求合并、流式转发和响应压缩的路由选项,
+-- 基础服务的路由增删改查和网关加载路由都会读取这些字段,升级前必须执行.
+-- 新增字段都有默认值,已有路由保持原有行为(不缓存、不合并、不流式、不压缩).
+-- ----------------------------
+ALTER TABLE `system_gateway_route`
+    ADD COLUMN `cache_ttl` int(11) NOT NULL DEFAULT '0' COMMENT '响应缓存时间(秒),0-不缓存,仅对GET请求生效' AFTER `route_desc`,
+    ADD COLUMN `cache_vary_headers` varchar(255) DEFAULT NULL COMMENT '缓存区分的请求头,多个用逗号隔开' AFTER `cache_ttl`,
+    ADD COLUMN `cache_vary_principal` tinyint(1) NOT NULL DEFAULT '0' COMMENT '缓存是否区分登录用户:0-否 1-是' AFTER `cache_vary_headers`,
+    ADD COLUMN `single_flight` tinyint(1) NOT NULL DEFAULT '0' COMMENT '合并相同的并发GET请求:0-否 1-是' AFTER `cache_vary_principal`,
+    ADD COLUMN `streaming` tinyint(1) NOT NULL DEFAULT '0' COMMENT '流式转发请求和响应内容,不在内存中缓冲:0-否 1-是' AFTER `single_flight`,
+    ADD COLUMN `compression` tinyint(1) NOT NULL DEFAULT '0' COMMENT '压缩响应内容(gzip):0-否 1-是' AFTER `streaming`;